@@ -0,0 +1,90 @@
+package com.assigment.primes.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Bean class to keep prime factorisation of a single number. The fields are JAXB annotated to allow automatic
+ * marshaling to/from JSON and XML.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement
+public class PrimeFactors {
+	/**
+	 * Initial number - the number that was factorised
+	 */
+	@XmlElement(name = "Initial", required = true)
+	private long initial;
+	/**
+	 * List of prime factors of initial number in ascending order, repeated according to their multiplicity
+	 */
+	@XmlElementWrapper(name = "FactorsList")
+	@XmlElement(name = "Factors", required = true)
+	private List<Long> factors;
+
+	public PrimeFactors(long initial, List<Long> factors) {
+		this.initial = initial;
+		this.factors = factors;
+	}
+
+	public PrimeFactors() {
+		this.initial = 0;
+		this.factors = new ArrayList<>();
+	}
+
+	public long getInitial() {
+		return initial;
+	}
+
+	public void setInitial(long initial) {
+		this.initial = initial;
+	}
+
+	public List<Long> getFactors() {
+		return factors;
+	}
+
+	public void setFactors(List<Long> factors) {
+		this.factors = factors;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (int) (initial ^ (initial >>> 32));
+		result = prime * result + ((factors == null) ? 0 : factors.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		PrimeFactors other = (PrimeFactors) obj;
+		if (initial != other.initial)
+			return false;
+		if (factors == null) {
+			if (other.factors != null)
+				return false;
+		} else if (!factors.equals(other.factors))
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PrimeFactors [initial=%s, factors=%s]", initial, factors);
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.assigment.primes.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Bean class to keep results of batch factorisation, one {@link PrimeFactors} per requested number in the request
+ * order. The fields are JAXB annotated to allow automatic marshaling to/from JSON and XML.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement
+public class PrimeFactorsList {
+	/**
+	 * Factorisation of each requested number
+	 */
+	@XmlElement(name = "PrimeFactors", required = true)
+	private List<PrimeFactors> results;
+
+	public PrimeFactorsList(List<PrimeFactors> results) {
+		this.results = results;
+	}
+
+	public PrimeFactorsList() {
+		this.results = new ArrayList<>();
+	}
+
+	public List<PrimeFactors> getResults() {
+		return results;
+	}
+
+	public void setResults(List<PrimeFactors> results) {
+		this.results = results;
+	}
+
+	@Override
+	public int hashCode() {
+		return (results == null) ? 0 : results.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		PrimeFactorsList other = (PrimeFactorsList) obj;
+		if (results == null) {
+			if (other.results != null)
+				return false;
+		} else if (!results.equals(other.results))
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PrimeFactorsList [resultsSize=%s]", results == null ? 0 : results.size());
+	}
+
+}
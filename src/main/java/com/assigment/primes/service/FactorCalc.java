@@ -0,0 +1,274 @@
+package com.assigment.primes.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.assigment.primes.model.PrimeFactors;
+
+/**
+ * Utility class to factorise numbers into primes. Numbers below {@link #SPF_TABLE_LIMIT} are factorised by lookups in
+ * a smallest prime factor table built from the Sieve of Eratosthenes. Larger numbers are first trial divided by the
+ * sieved base primes, the remaining cofactor is checked with deterministic Miller-Rabin test and split with Brent's
+ * variant of Pollard-Rho algorithm.
+ */
+public class FactorCalc {
+
+	private static final Logger log = LoggerFactory.getLogger(FactorCalc.class);
+
+	/**
+	 * numbers below this limit are factorised by smallest prime factor table lookups
+	 */
+	public static final int SPF_TABLE_LIMIT = 1 << 22;
+	/**
+	 * Miller-Rabin bases which give deterministic result for all numbers below 2^64
+	 */
+	private static final long[] MILLER_RABIN_BASES = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37 };
+	/**
+	 * number of Pollard-Rho steps between gcd calculations
+	 */
+	private static final int RHO_BATCH_SIZE = 128;
+
+	/**
+	 * Factorises the given number into primes. Numbers less than 2 do not have prime factors and give empty list.
+	 *
+	 * @param num number to factorise
+	 * @return prime factors in ascending order wrapped in the {@link PrimeFactors} object
+	 */
+	public static final PrimeFactors factorise(long num) {
+		log.trace("Starting factorise num={}", num);
+		List<Long> factors = new ArrayList<>();
+		if (num >= 2) {
+			long rest = num;
+			// strip factors of 2 so only odd numbers are left
+			int twos = Long.numberOfTrailingZeros(rest);
+			for (int i = 0; i < twos; i++) {
+				factors.add(2L);
+			}
+			rest >>= twos;
+			if (rest < SPF_TABLE_LIMIT) {
+				SmallestPrimeFactors.TABLE.factorise((int) rest, factors);
+			} else {
+				rest = trialDivide(rest, factors);
+				factoriseLarge(rest, factors);
+				// Pollard-Rho finds factors in no particular order
+				Collections.sort(factors);
+			}
+		}
+		return new PrimeFactors(num, factors);
+	}
+
+	/**
+	 * Builds the smallest prime factor table and base primes if they were not built yet. By default the table is built
+	 * lazily by the first factorisation request, calling this method at startup moves the cost out of request handling.
+	 */
+	public static final void precompute() {
+		int[] basePrimes = SmallestPrimeFactors.TABLE.basePrimes;
+		log.debug("precompute base primes={}", basePrimes.length);
+	}
+
+	/**
+	 * Checks if the given number is a prime. Small numbers are checked in the smallest prime factor table, others with
+	 * Miller-Rabin test using the set of bases which is proven to give no false positives for 64 bit numbers.
+	 *
+	 * @param num number to check
+	 * @return true if the number is a prime, false otherwise
+	 */
+	static final boolean isPrime(long num) {
+		if (num < 2)
+			return false;
+		if (num % 2 == 0)
+			return num == 2;
+		if (num < SPF_TABLE_LIMIT)
+			return SmallestPrimeFactors.TABLE.isPrime((int) num);
+		MontgomeryModulus mod = new MontgomeryModulus(num);
+		long minusOne = num - mod.one();
+		int shift = Long.numberOfTrailingZeros(num - 1);
+		long d = (num - 1) >>> shift;
+		for (long base : MILLER_RABIN_BASES) {
+			long x = mod.pow(mod.toMontgomery(base), d);
+			if (x == mod.one() || x == minusOne)
+				continue;
+			boolean composite = true;
+			for (int i = 1; i < shift && composite; i++) {
+				x = mod.multiply(x, x);
+				composite = x != minusOne;
+			}
+			if (composite)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Divides out all the sieved base primes from the number.
+	 *
+	 * @param num odd number to divide
+	 * @param factors list to add found factors to
+	 * @return the remaining cofactor, it has no prime factors smaller than the largest base prime
+	 */
+	private static final long trialDivide(long num, List<Long> factors) {
+		for (int p : SmallestPrimeFactors.TABLE.basePrimes) {
+			if ((long) p * p > num)
+				break;
+			while (num % p == 0) {
+				factors.add((long) p);
+				num /= p;
+			}
+		}
+		if (num < SPF_TABLE_LIMIT) {
+			SmallestPrimeFactors.TABLE.factorise((int) num, factors);
+			return 1;
+		}
+		return num;
+	}
+
+	/**
+	 * Recursively splits the number with Pollard-Rho until only primes are left.
+	 *
+	 * @param num odd number without small prime factors
+	 * @param factors list to add found factors to
+	 */
+	private static final void factoriseLarge(long num, List<Long> factors) {
+		if (num == 1)
+			return;
+		if (isPrime(num)) {
+			factors.add(num);
+			return;
+		}
+		// Pollard-Rho converges slowly for squares of primes, they are cheap to detect directly
+		long root = (long) Math.sqrt(num);
+		long divisor = root * root == num ? root : pollardRho(num);
+		log.trace("num={} split by divisor={}", num, divisor);
+		factoriseLarge(divisor, factors);
+		factoriseLarge(num / divisor, factors);
+	}
+
+	/**
+	 * Finds a non trivial divisor of composite number using Brent's variant of Pollard-Rho algorithm. The differences
+	 * of the sequence values are multiplied together in batches of {@link #RHO_BATCH_SIZE} so gcd is calculated only
+	 * once per batch. If the sequence cycles without finding a divisor it is restarted with different constant.
+	 *
+	 * @param num odd composite number
+	 * @return divisor of num greater than 1 and less than num
+	 */
+	private static final long pollardRho(long num) {
+		MontgomeryModulus mod = new MontgomeryModulus(num);
+		for (long c = 1;; c++) {
+			long increment = mod.toMontgomery(c % num);
+			long y = mod.toMontgomery(2);
+			long x = y;
+			long saved = y;
+			long product = mod.one();
+			long divisor = 1;
+			for (long range = 1; divisor == 1; range <<= 1) {
+				x = y;
+				for (long i = 0; i < range; i++) {
+					y = mod.add(mod.multiply(y, y), increment);
+				}
+				for (long k = 0; k < range && divisor == 1; k += RHO_BATCH_SIZE) {
+					saved = y;
+					long steps = Math.min(RHO_BATCH_SIZE, range - k);
+					for (long i = 0; i < steps; i++) {
+						y = mod.add(mod.multiply(y, y), increment);
+						product = mod.multiply(product, Math.abs(x - y));
+					}
+					divisor = gcd(product, num);
+				}
+			}
+			if (divisor == num) {
+				// the batch overshot, repeat it one step at a time
+				do {
+					saved = mod.add(mod.multiply(saved, saved), increment);
+					divisor = gcd(Math.abs(x - saved), num);
+				} while (divisor == 1);
+			}
+			if (divisor != num) {
+				return divisor;
+			}
+			log.trace("Pollard-Rho failed for num={} c={}, retrying", num, c);
+		}
+	}
+
+	/**
+	 * Binary greatest common divisor of two non negative numbers.
+	 */
+	private static final long gcd(long a, long b) {
+		if (a == 0)
+			return b;
+		if (b == 0)
+			return a;
+		int shift = Long.numberOfTrailingZeros(a | b);
+		a >>= Long.numberOfTrailingZeros(a);
+		while (b != 0) {
+			b >>= Long.numberOfTrailingZeros(b);
+			if (a > b) {
+				long t = a;
+				a = b;
+				b = t;
+			}
+			b -= a;
+		}
+		return a << shift;
+	}
+
+	/**
+	 * Compact smallest prime factor table for odd numbers below {@link FactorCalc#SPF_TABLE_LIMIT}. The smallest prime
+	 * factor of a composite number never exceeds its square root so it fits in a char, prime numbers are marked with
+	 * 0. The table is built lazily on first use by the class loader which guarantees thread safe initialisation.
+	 */
+	private static final class SmallestPrimeFactors {
+
+		static final SmallestPrimeFactors TABLE = new SmallestPrimeFactors(SPF_TABLE_LIMIT);
+
+		/**
+		 * odd primes up to square root of the table limit, used to build the table and for trial division
+		 */
+		final int[] basePrimes;
+		/**
+		 * smallest prime factor of number 2 * i + 1 stored under index i, 0 for primes
+		 */
+		private final char[] factors;
+
+		private SmallestPrimeFactors(int limit) {
+			int maxBase = (int) Math.sqrt(limit);
+			List<Long> sieved = PrimeCalc.getPrimesBySieve(maxBase).getPrimes();
+			basePrimes = new int[sieved.size() - 1];
+			factors = new char[limit / 2];
+			// skip 2 as the table keeps only odd numbers
+			for (int i = 1; i < sieved.size(); i++) {
+				int p = sieved.get(i).intValue();
+				basePrimes[i - 1] = p;
+				// start from p*p as all the smaller multiples were already marked by smaller primes
+				for (int num = p * p; num < limit; num += 2 * p) {
+					if (factors[num >> 1] == 0) {
+						factors[num >> 1] = (char) p;
+					}
+				}
+			}
+			log.debug("Smallest prime factor table built for limit={}", limit);
+		}
+
+		boolean isPrime(int num) {
+			return num > 1 && factors[num >> 1] == 0;
+		}
+
+		/**
+		 * @param num odd number less than the table limit
+		 * @param res list to add prime factors to in ascending order
+		 */
+		void factorise(int num, List<Long> res) {
+			while (num > 1) {
+				int p = factors[num >> 1];
+				if (p == 0) {
+					p = num;
+				}
+				res.add((long) p);
+				num /= p;
+			}
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.assigment.primes.service;
+
+/**
+ * Modular arithmetic for a fixed odd modulus using Montgomery representation with R = 2^64. It allows multiplying two
+ * residues of any positive long modulus without overflow and without the cost of 128 bit division, which makes Miller-
+ * Rabin and Pollard-Rho fast for the whole long range. All the values passed to and returned from {@link #multiply},
+ * {@link #add} and {@link #pow} are in Montgomery form and in the range [0, modulus).
+ */
+class MontgomeryModulus {
+
+	private static final long LOW_MASK = 0xFFFFFFFFL;
+
+	/**
+	 * the odd modulus
+	 */
+	private final long modulus;
+	/**
+	 * -modulus^-1 mod 2^64 used by the Montgomery reduction
+	 */
+	private final long negInverse;
+	/**
+	 * R^2 mod modulus used to convert values into Montgomery form
+	 */
+	private final long r2;
+	/**
+	 * 1 in Montgomery form i.e. R mod modulus
+	 */
+	private final long one;
+
+	/**
+	 * @param modulus odd number greater than 1
+	 * @throws IllegalArgumentException if modulus is even or not greater than 1
+	 */
+	MontgomeryModulus(long modulus) throws IllegalArgumentException {
+		if (modulus <= 1 || (modulus & 1) == 0) {
+			throw new IllegalArgumentException("Montgomery modulus must be odd and greater than 1");
+		}
+		this.modulus = modulus;
+		// Newton iteration doubles the number of correct low bits each step, odd modulus is its own inverse mod 8
+		long inverse = modulus;
+		for (int i = 0; i < 5; i++) {
+			inverse *= 2 - modulus * inverse;
+		}
+		this.negInverse = -inverse;
+		this.one = Long.remainderUnsigned(-modulus, modulus);
+		// double R mod modulus 64 times to get R^2 mod modulus, modulus < 2^63 so doubling never overflows unsigned
+		long r = one;
+		for (int i = 0; i < 64; i++) {
+			r = reduceOnce(r << 1);
+		}
+		this.r2 = r;
+	}
+
+	long one() {
+		return one;
+	}
+
+	/**
+	 * @param value number in the range [0, modulus)
+	 * @return value in Montgomery form
+	 */
+	long toMontgomery(long value) {
+		return multiply(value, r2);
+	}
+
+	long multiply(long a, long b) {
+		return reduce(unsignedMultiplyHigh(a, b), a * b);
+	}
+
+	long add(long a, long b) {
+		return reduceOnce(a + b);
+	}
+
+	long pow(long base, long exponent) {
+		long res = one;
+		while (exponent > 0) {
+			if ((exponent & 1) == 1) {
+				res = multiply(res, base);
+			}
+			base = multiply(base, base);
+			exponent >>>= 1;
+		}
+		return res;
+	}
+
+	/**
+	 * Montgomery reduction of the 128 bit number high:low, returns high:low * R^-1 mod modulus.
+	 */
+	private long reduce(long high, long low) {
+		long m = low * negInverse;
+		long mnHigh = unsignedMultiplyHigh(m, modulus);
+		// low + m * modulus is 0 mod 2^64 by construction, so it carries into the high word unless low is 0
+		long carry = low != 0 ? 1 : 0;
+		return reduceOnce(high + mnHigh + carry);
+	}
+
+	/**
+	 * @param value unsigned number less than 2 * modulus
+	 * @return value mod modulus
+	 */
+	private long reduceOnce(long value) {
+		return Long.compareUnsigned(value, modulus) >= 0 ? value - modulus : value;
+	}
+
+	/**
+	 * @return high 64 bits of the unsigned 128 bit product a * b
+	 */
+	static long unsignedMultiplyHigh(long a, long b) {
+		long a1 = a >>> 32;
+		long a0 = a & LOW_MASK;
+		long b1 = b >>> 32;
+		long b0 = b & LOW_MASK;
+		long t = a1 * b0 + ((a0 * b0) >>> 32);
+		long w1 = a0 * b1 + (t & LOW_MASK);
+		return a1 * b1 + (t >>> 32) + (w1 >>> 32);
+	}
+}
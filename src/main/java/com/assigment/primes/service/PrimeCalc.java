@@ -103,20 +103,24 @@ public class PrimeCalc {
 			int threadCount = Runtime.getRuntime().availableProcessors();
 			log.debug("threadCount={}", threadCount);
 			ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
-			AtomicLong counter = new AtomicLong(2);
-			List<Future<List<Long>>> futures = new ArrayList<>(threadCount);
-			// create a task for each thread
-			for (long i = 0; i < threadCount; i++) {
-				Future<List<Long>> f = threadPool.submit(new CalculatePrimesTask(maxNum, counter));
-				futures.add(f);
-			}
-			// collect results, f.get() will block until the task has finished
-			for (Future<List<Long>> f : futures) {
-				try {
-					primes.addAll(f.get());
-				} catch (Exception e) {
-					log.error("Error while calculating primes concurrently: {}", e, e);
+			try {
+				AtomicLong counter = new AtomicLong(2);
+				List<Future<List<Long>>> futures = new ArrayList<>(threadCount);
+				// create a task for each thread
+				for (long i = 0; i < threadCount; i++) {
+					Future<List<Long>> f = threadPool.submit(new CalculatePrimesTask(maxNum, counter));
+					futures.add(f);
+				}
+				// collect results, f.get() will block until the task has finished
+				for (Future<List<Long>> f : futures) {
+					try {
+						primes.addAll(f.get());
+					} catch (Exception e) {
+						log.error("Error while calculating primes concurrently: {}", e, e);
+					}
 				}
+			} finally {
+				threadPool.shutdown();
 			}
 			// list merged from separate tasks will not be in the natural order
 			// sort it to ensure ascending order of primes
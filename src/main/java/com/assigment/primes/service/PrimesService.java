@@ -1,23 +1,34 @@
 package com.assigment.primes.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.assigment.primes.model.PrimeFactors;
+import com.assigment.primes.model.PrimeFactorsList;
 import com.assigment.primes.model.PrimesList;
 
 /**
  * Service class used by JAX-RS to get WebService responses. It supports different Media Types based on the request. All
  * the GET methods support optional algorithm parameter used to decide which algorithm to use. If algorithm parameter is
  * empty it defaults to trial division algorithm. All the methods will throw IllegalArgumentException for invalid
- * algorithm names.
+ * algorithm names. The factor methods return prime factorisation of single number or a batch of numbers. The ready
+ * method is a readiness probe for load balancers, it reports healthy only once {@link WarmUpListener} has finished.
+ * Results of warm-up requests are logged at debug level so they are not mixed with the client requests.
  */
 @Path("")
 public class PrimesService {
@@ -38,9 +49,34 @@ public class PrimesService {
 	 * Optimised Sieve of Eratosthenes algorithm
 	 */
 	public static final String ALGO_SIEVE = "sieve";
+	/**
+	 * name of the repeatable query parameter with numbers to factorise in batch
+	 */
+	public static final String FACTOR_PARAM_NAME = "n";
+	/**
+	 * maximum number of numbers which can be factorised in a single batch request
+	 */
+	public static final int MAX_FACTOR_BATCH = 1000;
 
 	private static final Logger log = LoggerFactory.getLogger(PrimesService.class);
 
+	/**
+	 * context of the current request, null if the service is not called by JAX-RS
+	 */
+	@Context
+	private ContainerRequestContext requestContext;
+
+	@GET
+	@Path("/ready")
+	@Produces(MediaType.TEXT_PLAIN)
+	public Response isReady() {
+		if (WarmUpListener.isReady()) {
+			return Response.ok("READY").build();
+		}
+		log.debug("readiness probe called before warm-up finished");
+		return Response.status(Status.SERVICE_UNAVAILABLE).entity("WARMING UP").build();
+	}
+
 	@GET
 	@Path("/{max}")
 	@Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
@@ -58,7 +94,7 @@ public class PrimesService {
 			log.error("Unknown algorithm {}", algorithm);
 			throw new IllegalArgumentException("Unknown algorithm " + algorithm);
 		}
-		log.info("getPrimes returns {}", res);
+		logResult("getPrimes", res);
 		return res;
 	}
 
@@ -88,4 +124,44 @@ public class PrimesService {
 		buf.append("\nPrimes: ").append(res.getPrimes());
 		return buf.toString();
 	}
+
+	@GET
+	@Path("/factor/{num}")
+	@Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
+	public PrimeFactors getFactors(@PathParam("num") long num) {
+		log.debug("starting getFactors for num={}", num);
+		PrimeFactors res = FactorCalc.factorise(num);
+		logResult("getFactors", res);
+		return res;
+	}
+
+	@GET
+	@Path("/factor")
+	@Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
+	public PrimeFactorsList getFactorsBatch(@QueryParam(FACTOR_PARAM_NAME) List<Long> nums)
+			throws IllegalArgumentException {
+		log.debug("starting getFactorsBatch for {} numbers", nums.size());
+		if (nums.size() > MAX_FACTOR_BATCH) {
+			log.error("Too many numbers to factorise {}", nums.size());
+			throw new IllegalArgumentException("Too many numbers to factorise, maximum is " + MAX_FACTOR_BATCH);
+		}
+		List<PrimeFactors> results = new ArrayList<>(nums.size());
+		for (long num : nums) {
+			results.add(FactorCalc.factorise(num));
+		}
+		PrimeFactorsList res = new PrimeFactorsList(results);
+		logResult("getFactorsBatch", res);
+		return res;
+	}
+
+	/**
+	 * Logs the result of the service method, requests sent by {@link WarmUpListener} are logged at debug level.
+	 */
+	private void logResult(String method, Object res) {
+		if (requestContext != null && requestContext.getProperty(WarmUpListener.WARM_UP_PROPERTY) != null) {
+			log.debug("{} warm-up returns {}", method, res);
+		} else {
+			log.info("{} returns {}", method, res);
+		}
+	}
 }
@@ -0,0 +1,215 @@
+package com.assigment.primes.service;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.ext.Provider;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Container lifecycle listener which warms up the service after deployment. On startup it precomputes the factorisation
+ * tables and then, on a background thread, sends in-process requests through the Jersey application for each algorithm
+ * and each supported media type, so the calculation loops are JIT compiled and the JSON/XML providers are initialised
+ * before the first client request. The {@link PrimesService#isReady} probe reports healthy only once this is finished.
+ * The warm-up is configured with the servlet init parameters {@link #ITERATIONS_PROPERTY} and {@link #MAX_PROPERTY}.
+ */
+@Provider
+public class WarmUpListener implements ContainerLifecycleListener {
+
+	/**
+	 * number of times each warm-up request is repeated, 0 disables the warm-up requests
+	 */
+	public static final String ITERATIONS_PROPERTY = "primes.warmup.iterations";
+	/**
+	 * upper bound of primes used in warm-up requests
+	 */
+	public static final String MAX_PROPERTY = "primes.warmup.max";
+	/**
+	 * request property set on the warm-up requests to tell them apart from the client requests
+	 */
+	public static final String WARM_UP_PROPERTY = "primes.warmup.request";
+
+	private static final int DEFAULT_ITERATIONS = 20;
+	private static final long DEFAULT_MAX = 10000;
+
+	private static final List<String> ALGORITHMS = Arrays.asList(PrimesService.ALGO_DIVISION,
+			PrimesService.ALGO_CONCURRENT, PrimesService.ALGO_SIEVE);
+	private static final List<MediaType> PRIMES_MEDIA_TYPES = Arrays.asList(MediaType.APPLICATION_JSON_TYPE,
+			MediaType.APPLICATION_XML_TYPE, MediaType.TEXT_HTML_TYPE, MediaType.TEXT_PLAIN_TYPE);
+	private static final List<MediaType> FACTORS_MEDIA_TYPES = Arrays.asList(MediaType.APPLICATION_JSON_TYPE,
+			MediaType.APPLICATION_XML_TYPE);
+	private static final URI BASE_URI = URI.create("http://localhost/");
+	/**
+	 * name of the background thread running the warm-up
+	 */
+	static final String THREAD_NAME = "primes-warmup";
+
+	private static final Logger log = LoggerFactory.getLogger(WarmUpListener.class);
+
+	/**
+	 * the most recently started warm-up, shared with the readiness probe. Only this run can make the service ready, so
+	 * a cancelled run finishing after reload or shutdown does not report a cold instance as healthy.
+	 */
+	private static final AtomicReference<WarmUpTask> currentTask = new AtomicReference<>();
+
+	private WarmUpTask warmUpTask = null;
+
+	/**
+	 * @return true if the warm-up has finished and the service is ready to take traffic
+	 */
+	public static boolean isReady() {
+		WarmUpTask task = currentTask.get();
+		return task != null && task.finished;
+	}
+
+	/**
+	 * Cancels the running warm-up, if any, and clears the readiness state. The next {@link #onStartup} starts from the
+	 * not ready state.
+	 */
+	static void reset() {
+		WarmUpTask task = currentTask.getAndSet(null);
+		if (task != null) {
+			task.cancelled = true;
+		}
+	}
+
+	@Override
+	public void onStartup(Container container) {
+		int iterations = (int) getProperty(container, ITERATIONS_PROPERTY, DEFAULT_ITERATIONS);
+		long max = getProperty(container, MAX_PROPERTY, DEFAULT_MAX);
+		log.info("Starting warm-up iterations={} max={}", iterations, max);
+		FactorCalc.precompute();
+		warmUpTask = new WarmUpTask(container.getApplicationHandler(), iterations, max);
+		WarmUpTask previous = currentTask.getAndSet(warmUpTask);
+		if (previous != null) {
+			previous.cancelled = true;
+		}
+		Thread warmUpThread = new Thread(warmUpTask, THREAD_NAME);
+		// do not block container shutdown if warm-up is still running
+		warmUpThread.setDaemon(true);
+		warmUpThread.start();
+	}
+
+	/**
+	 * On reload Jersey calls {@link #onShutdown} on the listeners of the old application and then onReload followed by
+	 * {@link #onStartup} on the listeners of the new one, so the warm-up is started by onStartup only.
+	 */
+	@Override
+	public void onReload(Container container) {
+		log.info("Container reloaded, warm-up starts with the new application");
+	}
+
+	@Override
+	public void onShutdown(Container container) {
+		if (warmUpTask != null) {
+			warmUpTask.cancelled = true;
+			currentTask.compareAndSet(warmUpTask, null);
+			warmUpTask = null;
+		}
+	}
+
+	/**
+	 * Reads numeric configuration property, falls back to default value if property is missing or invalid.
+	 */
+	private static long getProperty(Container container, String name, long defaultValue) {
+		Object value = container.getConfiguration().getProperty(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.toString().trim());
+		} catch (NumberFormatException e) {
+			log.error("Invalid value of {}={}, using default {}", name, value, defaultValue);
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Task run on the background thread to execute the warm-up workload and mark the service ready. The task is stopped
+	 * by setting the cancelled flag which is checked before each request, a request already running is completed.
+	 */
+	private static class WarmUpTask implements Runnable {
+
+		private final ApplicationHandler handler;
+		private final int iterations;
+		private final long max;
+		/**
+		 * set by the listener when the warm-up is no longer needed
+		 */
+		volatile boolean cancelled = false;
+		/**
+		 * set by the task when all warm-up requests were sent
+		 */
+		volatile boolean finished = false;
+
+		WarmUpTask(ApplicationHandler handler, int iterations, long max) {
+			this.handler = handler;
+			this.iterations = iterations;
+			this.max = max;
+		}
+
+		@Override
+		public void run() {
+			long start = System.currentTimeMillis();
+			try {
+				for (int i = 0; i < iterations; i++) {
+					for (String algorithm : ALGORITHMS) {
+						for (MediaType mediaType : PRIMES_MEDIA_TYPES) {
+							get(UriBuilder.fromUri(BASE_URI).path(String.valueOf(max))
+									.queryParam(PrimesService.ALGO_PARAM_NAME, algorithm).build(), mediaType);
+						}
+					}
+					for (MediaType mediaType : FACTORS_MEDIA_TYPES) {
+						// a number with large prime factors exercises Pollard-Rho as well as the table lookups
+						get(UriBuilder.fromUri(BASE_URI).path("factor").path(String.valueOf(Long.MAX_VALUE - i))
+								.build(), mediaType);
+						get(UriBuilder.fromUri(BASE_URI).path("factor")
+								.queryParam(PrimesService.FACTOR_PARAM_NAME, max, max + 1).build(), mediaType);
+					}
+				}
+			} catch (Exception e) {
+				// failing warm-up only costs latency, the service is still able to respond
+				log.error("Error while warming up: {}", e, e);
+			}
+			if (cancelled) {
+				log.warn("Warm-up cancelled after {}ms", System.currentTimeMillis() - start);
+				return;
+			}
+			finished = true;
+			log.info("Warm-up finished in {}ms", System.currentTimeMillis() - start);
+		}
+
+		/**
+		 * Sends the GET request through the whole Jersey request processing chain including the entity providers. Does
+		 * nothing once the task is cancelled.
+		 */
+		private void get(URI uri, MediaType mediaType) throws Exception {
+			if (cancelled) {
+				return;
+			}
+			ContainerRequest request = new ContainerRequest(BASE_URI, uri, HttpMethod.GET, null,
+					new MapPropertiesDelegate());
+			request.header(HttpHeaders.ACCEPT, mediaType);
+			request.setProperty(WARM_UP_PROPERTY, Boolean.TRUE);
+			ContainerResponse response = handler.apply(request).get();
+			log.trace("warm-up {} {} status={}", uri, mediaType, response.getStatus());
+			if (response.getStatus() != 200) {
+				log.warn("Warm-up request {} {} failed with status {}", uri, mediaType, response.getStatus());
+			}
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.assigment.primes.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class FactorCalcTest {
+
+	private static final Logger log = LoggerFactory.getLogger(FactorCalcTest.class);
+
+	@Test
+	public void testFactoriseSmall() {
+		log.info("testFactoriseSmall");
+		assertEquals("factors of 360", FactorCalc.factorise(360).getFactors(), Arrays.asList(2L, 2L, 2L, 3L, 3L, 5L));
+		assertEquals("factors of 97", FactorCalc.factorise(97).getFactors(), Arrays.asList(97L));
+		assertEquals("factors of 1024", FactorCalc.factorise(1024).getFactors().size(), 10);
+		assertEquals("factors of 4194301", FactorCalc.factorise(4194301).getFactors(), Arrays.asList(4194301L));
+	}
+
+	@Test
+	public void testFactoriseLarge() {
+		log.info("testFactoriseLarge");
+		assertEquals("factors of Long.MAX_VALUE", FactorCalc.factorise(Long.MAX_VALUE).getFactors(),
+				Arrays.asList(7L, 7L, 73L, 127L, 337L, 92737L, 649657L));
+		assertEquals("semiprime of two 32 bit primes", FactorCalc.factorise(4294967291L * 2147483647L).getFactors(),
+				Arrays.asList(2147483647L, 4294967291L));
+		assertEquals("square of a prime", FactorCalc.factorise(3037000493L * 3037000493L).getFactors(),
+				Arrays.asList(3037000493L, 3037000493L));
+		assertEquals("power of two", FactorCalc.factorise(1L << 62).getFactors().size(), 62);
+	}
+
+	@Test
+	public void testFactoriseNegative() {
+		log.info("testFactoriseNegative");
+		assertEquals("negative input get empty list", FactorCalc.factorise(-10).getFactors().size(), 0);
+		assertEquals("zero get empty list", FactorCalc.factorise(0).getFactors().size(), 0);
+		assertEquals("one get empty list", FactorCalc.factorise(1).getFactors().size(), 0);
+	}
+
+	@Test
+	public void testIsPrime() {
+		log.info("testIsPrime");
+		Set<Long> sieve = new HashSet<>(PrimeCalc.getPrimesBySieve(100000).getPrimes());
+		for (long num = 0; num <= 100000; num++) {
+			assertEquals("isPrime the same as sieve for " + num, FactorCalc.isPrime(num),
+					sieve.contains(num));
+		}
+		assertTrue("largest prime below 2^63", FactorCalc.isPrime(9223372036854775783L));
+		assertFalse("strong pseudoprime to bases 2 to 23", FactorCalc.isPrime(3825123056546413051L));
+		assertFalse("Long.MAX_VALUE", FactorCalc.isPrime(Long.MAX_VALUE));
+	}
+}
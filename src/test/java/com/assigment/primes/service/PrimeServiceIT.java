@@ -20,6 +20,8 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.assigment.primes.model.PrimeFactors;
+import com.assigment.primes.model.PrimeFactorsList;
 import com.assigment.primes.model.PrimesList;
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
@@ -92,6 +94,39 @@ public class PrimeServiceIT {
 		assertTrue("primes list empty", res.getPrimes().isEmpty());
 	}
 
+	@Test
+	public void testFactors() throws Exception {
+		log.info("testFactors");
+		Response response = primesTarget.path("factor").path(String.valueOf(Long.MAX_VALUE))
+				.request(MediaType.APPLICATION_JSON_TYPE).get();
+		assertEquals("factor status OK", response.getStatus(), 200);
+		PrimeFactors factors = response.readEntity(PrimeFactors.class);
+		log.debug("result factors={}", factors);
+		assertEquals("Long.MAX_VALUE has 7 prime factors", factors.getFactors().size(), 7);
+
+		response = primesTarget.path("factor").queryParam(PrimesService.FACTOR_PARAM_NAME, 360, 97)
+				.request(MediaType.APPLICATION_XML_TYPE).get();
+		assertEquals("factor batch status OK", response.getStatus(), 200);
+		PrimeFactorsList batch = response.readEntity(PrimeFactorsList.class);
+		log.debug("result batch={}", batch);
+		assertEquals("batch returns result for each number", batch.getResults().size(), 2);
+		assertEquals("360 has 6 prime factors", batch.getResults().get(0).getFactors().size(), 6);
+	}
+
+	@Test
+	public void testReady() throws Exception {
+		log.info("testReady");
+		Response response = primesTarget.path("ready").request(MediaType.TEXT_PLAIN_TYPE).get();
+		// warm-up runs in background after deployment, give it time to finish
+		for (int i = 0; i < 60 && response.getStatus() != 200; i++) {
+			assertEquals("not ready status SERVICE_UNAVAILABLE", response.getStatus(), 503);
+			Thread.sleep(1000);
+			response = primesTarget.path("ready").request(MediaType.TEXT_PLAIN_TYPE).get();
+		}
+		assertEquals("ready status OK", response.getStatus(), 200);
+		assertEquals("ready text", response.readEntity(String.class), "READY");
+	}
+
 	private Response getAndValidateResponse(long maxNum, String algorithm, MediaType mediaType) throws Exception {
 		WebTarget target = primesTarget.path(String.valueOf(maxNum)).queryParam(PrimesService.ALGO_PARAM_NAME,
 				algorithm);
@@ -2,6 +2,10 @@ package com.assigment.primes.service;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -9,6 +13,8 @@ import org.junit.rules.ExpectedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.assigment.primes.model.PrimeFactors;
+import com.assigment.primes.model.PrimeFactorsList;
 import com.assigment.primes.model.PrimesList;
 
 public class PrimeServiceTest {
@@ -47,4 +53,29 @@ public class PrimeServiceTest {
 		expectedException.expectMessage("Unknown algorithm none");
 		primesService.getPrimes(100, "none");
 	}
+
+	@Test
+	public void testFactors() {
+		log.info("testFactors");
+		PrimeFactors factors = primesService.getFactors(9999);
+		assertEquals("initial is the factorised number", factors.getInitial(), 9999L);
+		assertEquals("factors of 9999", factors.getFactors(), Arrays.asList(3L, 3L, 11L, 101L));
+
+		PrimeFactorsList batch = primesService.getFactorsBatch(Arrays.asList(9999L, 1L, 97L));
+		assertEquals("batch returns result for each number", batch.getResults().size(), 3);
+		assertEquals("batch result the same as single", batch.getResults().get(0), factors);
+		assertEquals("batch keeps request order", batch.getResults().get(2).getFactors(), Arrays.asList(97L));
+	}
+
+	@Test
+	public void testFactorsBatchValidation() {
+		log.info("testFactorsBatchValidation");
+		List<Long> nums = new ArrayList<>();
+		for (long i = 0; i <= PrimesService.MAX_FACTOR_BATCH; i++) {
+			nums.add(i);
+		}
+		expectedException.expect(IllegalArgumentException.class);
+		expectedException.expectMessage("Too many numbers to factorise");
+		primesService.getFactorsBatch(nums);
+	}
 }
@@ -0,0 +1,154 @@
+package com.assigment.primes.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.spi.Container;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class WarmUpListenerTest {
+	private static final Logger log = LoggerFactory.getLogger(WarmUpListenerTest.class);
+
+	/**
+	 * long enough warm-up to be still running when the test changes the lifecycle state
+	 */
+	private static final String LONG_ITERATIONS = "200";
+	private static final String LONG_MAX = "200000";
+	private static final long TIMEOUT = 60000;
+
+	private WarmUpListener listener = null;
+	private Container container = null;
+	/**
+	 * configuration read by the listener, kept separate from the application so tests can change it between runs
+	 */
+	private ResourceConfig config = null;
+
+	@Before
+	public void setUp() throws Exception {
+		WarmUpListener.reset();
+		awaitWarmUpThreads();
+		final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig().packages("com.assigment.primes"));
+		config = new ResourceConfig();
+		container = new Container() {
+			@Override
+			public ResourceConfig getConfiguration() {
+				return config;
+			}
+
+			@Override
+			public ApplicationHandler getApplicationHandler() {
+				return handler;
+			}
+
+			@Override
+			public void reload() {
+			}
+
+			@Override
+			public void reload(ResourceConfig configuration) {
+			}
+		};
+		listener = new WarmUpListener();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		listener.onShutdown(container);
+		awaitWarmUpThreads();
+		WarmUpListener.reset();
+	}
+
+	@Test
+	public void testNotReadyBeforeWarmUp() {
+		log.info("testNotReadyBeforeWarmUp");
+		assertFalse("not ready without warm-up", WarmUpListener.isReady());
+		assertEquals("probe not ready without warm-up", new PrimesService().isReady().getStatus(), 503);
+	}
+
+	@Test
+	public void testReadyAfterWarmUp() throws Exception {
+		log.info("testReadyAfterWarmUp");
+		setWarmUp("2", "1000");
+		listener.onStartup(container);
+		assertTrue("ready after warm-up", awaitReady());
+		assertEquals("probe ready after warm-up", new PrimesService().isReady().getStatus(), 200);
+	}
+
+	@Test
+	public void testNotReadyAfterShutdown() throws Exception {
+		log.info("testNotReadyAfterShutdown");
+		setWarmUp(LONG_ITERATIONS, LONG_MAX);
+		listener.onStartup(container);
+		Thread.sleep(500);
+		assertFalse("not ready during warm-up", WarmUpListener.isReady());
+		listener.onShutdown(container);
+		assertTrue("warm-up stopped after shutdown", awaitWarmUpThreads());
+		assertFalse("not ready after shutdown", WarmUpListener.isReady());
+	}
+
+	@Test
+	public void testReload() throws Exception {
+		log.info("testReload");
+		setWarmUp(LONG_ITERATIONS, LONG_MAX);
+		listener.onStartup(container);
+		Thread.sleep(500);
+		assertEquals("one warm-up before reload", getWarmUpThreads().size(), 1);
+
+		// Jersey reload sequence: shutdown of the old application, then reload and startup of the new one
+		listener.onShutdown(container);
+		listener = new WarmUpListener();
+		listener.onReload(container);
+		assertTrue("old warm-up stopped after shutdown", awaitWarmUpThreads());
+		assertEquals("reload does not start warm-up", getWarmUpThreads().size(), 0);
+		assertFalse("not ready before new warm-up", WarmUpListener.isReady());
+
+		setWarmUp("20", "10000");
+		listener.onStartup(container);
+		assertEquals("exactly one warm-up after reload", getWarmUpThreads().size(), 1);
+		assertFalse("not ready until new warm-up finishes", WarmUpListener.isReady());
+		assertTrue("ready after new warm-up", awaitReady());
+	}
+
+	private void setWarmUp(String iterations, String max) {
+		config.property(WarmUpListener.ITERATIONS_PROPERTY, iterations);
+		config.property(WarmUpListener.MAX_PROPERTY, max);
+	}
+
+	private static boolean awaitReady() throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (!WarmUpListener.isReady() && System.currentTimeMillis() < end) {
+			Thread.sleep(50);
+		}
+		return WarmUpListener.isReady();
+	}
+
+	private static List<Thread> getWarmUpThreads() {
+		List<Thread> res = new ArrayList<>();
+		for (Thread t : Thread.getAllStackTraces().keySet()) {
+			if (t.isAlive() && t.getName().equals(WarmUpListener.THREAD_NAME)) {
+				res.add(t);
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * @return true if all the warm-up threads have finished within timeout
+	 */
+	private static boolean awaitWarmUpThreads() throws InterruptedException {
+		for (Thread t : getWarmUpThreads()) {
+			t.join(TIMEOUT);
+		}
+		return getWarmUpThreads().isEmpty();
+	}
+}